@@ -1,5 +1,6 @@
 package com.example.dames;
 
+import com.example.dames.controller.BoardController;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -12,6 +13,7 @@ public class Main extends Application {
     public void start(Stage primaryStage) throws Exception {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/dames/board.fxml"));
         Parent root = loader.load();
+        applyTimeControl(loader.getController());
         // Set minimum size for the window
         int minSize = 8 * 60; // Minimum tile size of 60px
         Scene scene = new Scene(root, minSize, minSize);
@@ -34,6 +36,22 @@ public class Main extends Application {
         primaryStage.show();
     }
 
+    // Optional clock from --clock=<minutes>+<increment seconds>, e.g. --clock=5+3 or --clock=10+0
+    private void applyTimeControl(BoardController controller) {
+        String clock = getParameters().getNamed().get("clock");
+        if (clock == null)
+            return;
+        try {
+            String[] parts = clock.split("\\+");
+            long baseMillis = Long.parseLong(parts[0].trim()) * 60_000;
+            long incrementMillis = parts.length > 1 ? Long.parseLong(parts[1].trim()) * 1_000 : 0;
+            controller.setTimeControl(baseMillis, incrementMillis);
+        } catch (IllegalArgumentException e) {
+            // Bad time control - play untimed
+            System.out.println("Invalid --clock value '" + clock + "', expected <minutes>+<seconds>. Playing without a clock.");
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
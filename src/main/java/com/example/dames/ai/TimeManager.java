@@ -0,0 +1,108 @@
+package com.example.dames.ai;
+
+import com.example.dames.model.GameClock;
+import com.example.dames.model.LegalMoveTable;
+import com.example.dames.model.Move;
+
+public class TimeManager {
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long SAFETY_MARGIN_MILLIS = 20;
+    private static final double MAX_INSTABILITY_FACTOR = 2.5;
+
+    private final long moveLatencyCapMillis;
+
+    private long moveStartNanos;
+    private long softDeadlineNanos;
+    private long hardDeadlineNanos;
+    private long baseSoftNanos;
+    private boolean forced;
+    private boolean stopped;
+
+    private Move lastBestMove;
+    private double instabilityFactor = 1.0;
+
+    private long lastStopLatencyNanos;
+    private long maxStopLatencyNanos;
+
+    public TimeManager(long moveLatencyCapMillis) {
+        if (moveLatencyCapMillis <= 0)
+            throw new IllegalArgumentException("Latency cap must be positive: " + moveLatencyCapMillis);
+        this.moveLatencyCapMillis = moveLatencyCapMillis;
+    }
+
+    // The caller builds legalMoves for the position it is searching: every legal move of the side to move,
+    // with captures mandatory across the whole side, as BoardController does for the human player
+    public void startMove(GameClock clock, boolean isWhite, LegalMoveTable legalMoves) {
+        moveStartNanos = System.nanoTime();
+        stopped = false;
+        lastBestMove = null;
+        instabilityFactor = 1.0;
+
+        // A single legal move (typically a mandatory capture) is played instantly
+        forced = legalMoves.getMoves().size() <= 1;
+        if (forced) {
+            baseSoftNanos = 0;
+            softDeadlineNanos = moveStartNanos;
+            hardDeadlineNanos = moveStartNanos;
+            return;
+        }
+
+        long remaining = Math.max(0, clock.getRemainingMillis(isWhite) - SAFETY_MARGIN_MILLIS);
+        long increment = clock.getIncrementMillis();
+
+        long soft = remaining / DEFAULT_MOVES_TO_GO + increment * 3 / 4;
+        long hard = Math.min(soft * 4, remaining / 3 + increment);
+        hard = Math.min(hard, moveLatencyCapMillis);
+        hard = Math.min(hard, remaining);
+        soft = Math.min(soft, hard);
+
+        baseSoftNanos = soft * 1_000_000L;
+        softDeadlineNanos = moveStartNanos + baseSoftNanos;
+        hardDeadlineNanos = moveStartNanos + hard * 1_000_000L;
+    }
+
+    public boolean isForced() { return forced; }
+
+    // Called after each completed iteration; stretches the soft budget while the best move keeps changing
+    public void onIterationComplete(Move bestMove) {
+        if (lastBestMove != null && !lastBestMove.equals(bestMove)) {
+            instabilityFactor = Math.min(MAX_INSTABILITY_FACTOR, instabilityFactor + 0.5);
+        } else if (lastBestMove != null) {
+            instabilityFactor = Math.max(1.0, instabilityFactor * 0.9);
+        }
+        lastBestMove = bestMove;
+        long extended = moveStartNanos + (long) (baseSoftNanos * instabilityFactor);
+        softDeadlineNanos = Math.min(extended, hardDeadlineNanos);
+    }
+
+    // The first iteration always runs so a move exists even when the clock is nearly out
+    public boolean canStartIteration() {
+        if (forced || stopped)
+            return false;
+        return lastBestMove == null || System.nanoTime() < softDeadlineNanos;
+    }
+
+    // Polled from inside the search at least once per node; reads the clock on every call so the
+    // stop latency is bounded by the time between two polls, not by a node count
+    public boolean shouldStop() {
+        if (stopped)
+            return true;
+        if (System.nanoTime() >= hardDeadlineNanos) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    // Called once the search has returned its move; records how far past the hard deadline it ran
+    public void finishMove() {
+        stopped = true;
+        lastStopLatencyNanos = Math.max(0, System.nanoTime() - hardDeadlineNanos);
+        maxStopLatencyNanos = Math.max(maxStopLatencyNanos, lastStopLatencyNanos);
+    }
+
+    public long getSoftBudgetMillis() { return (softDeadlineNanos - moveStartNanos) / 1_000_000L; }
+    public long getHardBudgetMillis() { return (hardDeadlineNanos - moveStartNanos) / 1_000_000L; }
+    public long getElapsedMillis() { return (System.nanoTime() - moveStartNanos) / 1_000_000L; }
+    public double getLastStopLatencyMillis() { return lastStopLatencyNanos / 1_000_000.0; }
+    public double getMaxStopLatencyMillis() { return maxStopLatencyNanos / 1_000_000.0; }
+}
@@ -4,6 +4,11 @@ import com.example.dames.model.Piece;
 import com.example.dames.model.Tile;
 import com.example.dames.model.PieceType;
 import com.example.dames.model.Move;
+import com.example.dames.model.GameClock;
+import com.example.dames.model.LegalMoveTable;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -32,6 +37,10 @@ public class BoardController {
     private boolean isWhiteTurn = true;
     private List<Move> currentCaptureChain = new ArrayList<>();
     private Tile captureStartTile = null;
+    private LegalMoveTable legalMoves = null;
+    private GameClock clock = null; // null for an untimed game
+    private Timeline clockTimeline;
+    private boolean gameOver = false;
 
     @FXML
     public void initialize() {
@@ -66,6 +75,21 @@ public class BoardController {
         });
     }
 
+    // Games are untimed unless a time control is set; an increment of 0 gives sudden death
+    public void setTimeControl(long baseMillis, long incrementMillis) {
+        if (clockTimeline != null) {
+            clockTimeline.stop();
+        }
+        clock = new GameClock(baseMillis, incrementMillis);
+        clock.start(isWhiteTurn);
+
+        // Refresh the clocks every second and catch a time loss without waiting for a click
+        clockTimeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> onClockTick()));
+        clockTimeline.setCycleCount(Animation.INDEFINITE);
+        clockTimeline.play();
+        updateStatus();
+    }
+
     private void initModel() {
         for (int r = 0; r < SIZE; r++) {
             for (int c = 0; c < SIZE; c++) {
@@ -186,7 +210,7 @@ public class BoardController {
         if (selectedPiece == null || selectedPiece.isWhite() != isWhiteTurn)
             return;
 
-        List<Move> moves = getValidMoves(selected.getRow(), selected.getCol());
+        List<Move> moves = getLegalMoves().getMovesFrom(selected.getRow(), selected.getCol());
         for (Move move : moves) {
             StackPane tilePane = getTilePane(move.toRow(), move.toCol());
             if (tilePane != null) {
@@ -225,42 +249,48 @@ public class BoardController {
     private void onTileClicked(int r, int c, StackPane pane) {
         Tile t = board[r][c];
 
+        if (gameOver)
+            return;
+
+        // No more moves once the side to move has run out of time
+        if (hasFlagged()) {
+            checkGameOver();
+            return;
+        }
+
         // If we're in a capture chain, only allow continuing the capture
         if (!currentCaptureChain.isEmpty() && captureStartTile != null) {
             if (t == captureStartTile) {
                 // Clicked on the same piece - allow continuing
-                selected = t;
-                buildUI();
+                selectTile(t);
                 return;
             }
 
             // Try to continue the capture
-            Move nextMove = findContinuationMove(captureStartTile.getRow(), captureStartTile.getCol(), r, c);
+            Move nextMove = findValidMove(captureStartTile.getRow(), captureStartTile.getCol(), r, c);
             if (nextMove != null) {
                 executeCaptureMove(nextMove);
                 return;
             } else {
-                // Invalid continuation, end the chain
+                // Invalid continuation, end the chain; the click only ends the turn
                 endCaptureChain();
+                return;
             }
         }
 
         if (selected == null) {
             // Select a piece
             if (!t.isEmpty() && t.getPiece().isWhite() == isWhiteTurn) {
-                selected = t;
-                buildUI();
+                selectTile(t);
             }
         } else {
             // Try to move
             if (t == selected) {
                 // Deselect
-                selected = null;
-                buildUI();
+                selectTile(null);
             } else if (!t.isEmpty() && t.getPiece().isWhite() == isWhiteTurn) {
                 // Select different piece
-                selected = t;
-                buildUI();
+                selectTile(t);
             } else {
                 // Try to move to this tile
                 Move move = findValidMove(selected.getRow(), selected.getCol(), r, c);
@@ -271,34 +301,59 @@ public class BoardController {
                         executeRegularMove(move);
                     }
                 } else {
-                    selected = null;
-                    buildUI();
+                    selectTile(null);
                 }
             }
         }
     }
 
+    private void selectTile(Tile tile) {
+        selected = tile;
+        buildUI();
+        updateStatus();
+    }
+
     private Move findValidMove(int fromRow, int fromCol, int toRow, int toCol) {
-        List<Move> moves = getValidMoves(fromRow, fromCol);
-        for (Move move : moves) {
-            if (move.toRow() == toRow && move.toCol() == toCol) {
-                return move;
-            }
+        return getLegalMoves().find(fromRow, fromCol, toRow, toCol);
+    }
+
+    private LegalMoveTable getLegalMoves() {
+        if (legalMoves == null) {
+            legalMoves = computeLegalMoves();
         }
-        return null;
+        return legalMoves;
     }
 
-    private Move findContinuationMove(int fromRow, int fromCol, int toRow, int toCol) {
-        List<Move> captures = findCaptures(fromRow, fromCol);
-        for (Move move : captures) {
-            if (move.toRow() == toRow && move.toCol() == toCol) {
-                return move;
+    private LegalMoveTable computeLegalMoves() {
+        List<Move> moves = new ArrayList<>();
+
+        // During a capture chain only the capturing piece may continue
+        if (!currentCaptureChain.isEmpty() && captureStartTile != null) {
+            moves.addAll(findCaptures(captureStartTile.getRow(), captureStartTile.getCol()));
+            return new LegalMoveTable(SIZE, moves);
+        }
+
+        // Captures are mandatory for the whole side (French/Moroccan rules)
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (board[r][c].hasFriendlyPiece(isWhiteTurn)) {
+                    moves.addAll(findCaptures(r, c));
+                }
             }
         }
-        return null;
+        if (moves.isEmpty()) {
+            for (int r = 0; r < SIZE; r++) {
+                for (int c = 0; c < SIZE; c++) {
+                    if (board[r][c].hasFriendlyPiece(isWhiteTurn)) {
+                        moves.addAll(findRegularMoves(r, c));
+                    }
+                }
+            }
+        }
+        return new LegalMoveTable(SIZE, moves);
     }
 
-    private List<Move> getValidMoves(int row, int col) {
+    private List<Move> findRegularMoves(int row, int col) {
         List<Move> moves = new ArrayList<>();
         Tile tile = board[row][col];
         if (tile.isEmpty())
@@ -307,13 +362,6 @@ public class BoardController {
         Piece piece = tile.getPiece();
         boolean isWhite = piece.isWhite();
 
-        // Check for captures first (mandatory in French/Moroccan rules)
-        List<Move> captures = findCaptures(row, col);
-        if (!captures.isEmpty()) {
-            return captures; // Only captures are allowed
-        }
-
-        // Regular moves (only if no captures available)
         if (piece.getType() == PieceType.MAN) {
             int direction = isWhite ? -1 : 1;
             addMoveIfValid(moves, row, col, row + direction, col - 1);
@@ -436,29 +484,39 @@ public class BoardController {
     }
 
     private void executeRegularMove(Move move) {
-        Tile from = board[move.fromRow()][move.fromCol()];
-        Tile to = board[move.toRow()][move.toCol()];
-        Piece piece = from.getPiece();
+        applyMove(move);
+        animateMove(move);
+        switchTurn();
+        buildUI();
+        updateStatus();
+        checkGameOver();
+    }
 
-        to.setPiece(piece);
-        from.setPiece(null);
+    private void executeCaptureMove(Move move) {
+        selected = applyMove(move);
 
-        // Check for promotion
-        if (piece.getType() == PieceType.MAN) {
-            if ((piece.isWhite() && move.toRow() == 0) || (!piece.isWhite() && move.toRow() == SIZE - 1)) {
-                piece.promoteToKing();
-            }
+        animateMove(move);
+
+        // Check if more captures are possible
+        if (!getLegalMoves().isEmpty()) {
+            // Must continue capturing
+            buildUI();
+            updateStatus();
+        } else {
+            // Capture chain ends
+            endCaptureChain();
         }
+    }
 
-        animateMove(move);
-        selected = null;
-        isWhiteTurn = !isWhiteTurn;
+    private void endCaptureChain() {
+        switchTurn();
         buildUI();
         updateStatus();
         checkGameOver();
     }
 
-    private void executeCaptureMove(Move move) {
+    // Board and capture-chain changes only happen here and in switchTurn(), which both drop the cached legal moves
+    private Tile applyMove(Move move) {
         Tile from = board[move.fromRow()][move.fromCol()];
         Tile to = board[move.toRow()][move.toCol()];
         Piece piece = from.getPiece();
@@ -467,9 +525,11 @@ public class BoardController {
         to.setPiece(piece);
         from.setPiece(null);
 
-        // Remove captured piece
+        // Remove captured piece and extend the capture chain
         if (move.hasCapture()) {
             board[move.capturedRow()][move.capturedCol()].setPiece(null);
+            currentCaptureChain.add(move);
+            captureStartTile = to;
         }
 
         // Check for promotion
@@ -479,33 +539,19 @@ public class BoardController {
             }
         }
 
-        // Add to capture chain
-        currentCaptureChain.add(move);
-        captureStartTile = to;
-        selected = to;
-
-        animateMove(move);
-
-        // Check if more captures are possible
-        List<Move> continuedCaptures = findCaptures(move.toRow(), move.toCol());
-        if (!continuedCaptures.isEmpty()) {
-            // Must continue capturing
-            buildUI();
-            updateStatus();
-        } else {
-            // Capture chain ends
-            endCaptureChain();
-        }
+        legalMoves = null;
+        return to;
     }
 
-    private void endCaptureChain() {
+    private void switchTurn() {
         currentCaptureChain.clear();
         captureStartTile = null;
         selected = null;
         isWhiteTurn = !isWhiteTurn;
-        buildUI();
-        updateStatus();
-        checkGameOver();
+        if (clock != null) {
+            clock.press();
+        }
+        legalMoves = null;
     }
 
     private void animateMove(Move move) {
@@ -541,38 +587,55 @@ public class BoardController {
     }
 
     private void updateStatus() {
-        if (statusLabel != null) {
+        // Keep the result on screen once the game is over
+        if (statusLabel != null && !gameOver) {
             String player = isWhiteTurn ? "Blanc" : "Noir";
+            String clocks = clock == null ? "" : " (Blanc " + clock.format(true) + " / Noir " + clock.format(false) + ")";
             if (!currentCaptureChain.isEmpty()) {
-                statusLabel.setText("Tour de " + player + " - Capture continue!");
+                statusLabel.setText("Tour de " + player + " - Capture continue!" + clocks);
+            } else if (selected != null && getLegalMoves().hasCaptures()
+                    && getLegalMoves().getMovesFrom(selected.getRow(), selected.getCol()).isEmpty()) {
+                // Side-wide mandatory capture: the selected piece cannot move while another one can capture
+                statusLabel.setText("Tour de " + player + " - Capture obligatoire!" + clocks);
             } else {
-                statusLabel.setText("Tour de " + player);
+                statusLabel.setText("Tour de " + player + clocks);
             }
         }
     }
 
-    private void checkGameOver() {
-        boolean whiteHasMoves = hasValidMoves(true);
-        boolean blackHasMoves = hasValidMoves(false);
+    private void onClockTick() {
+        if (gameOver)
+            return;
 
-        if (!whiteHasMoves && isWhiteTurn) {
-            statusLabel.setText("Noir gagne!");
-        } else if (!blackHasMoves && !isWhiteTurn) {
-            statusLabel.setText("Blanc gagne!");
+        if (hasFlagged()) {
+            checkGameOver();
+        } else {
+            updateStatus();
         }
     }
 
-    private boolean hasValidMoves(boolean isWhite) {
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                Tile tile = board[r][c];
-                if (!tile.isEmpty() && tile.getPiece().isWhite() == isWhite) {
-                    if (!getValidMoves(r, c).isEmpty()) {
-                        return true;
-                    }
-                }
-            }
+    private void checkGameOver() {
+        if (hasFlagged()) {
+            endGame(isWhiteTurn ? "Noir gagne au temps!" : "Blanc gagne au temps!");
+        } else if (getLegalMoves().isEmpty()) {
+            endGame(isWhiteTurn ? "Noir gagne!" : "Blanc gagne!");
+        }
+    }
+
+    private boolean hasFlagged() {
+        return clock != null && clock.hasFlagged(isWhiteTurn);
+    }
+
+    private void endGame(String result) {
+        gameOver = true;
+        if (clock != null) {
+            clock.stop();
+        }
+        if (clockTimeline != null) {
+            clockTimeline.stop();
+        }
+        if (statusLabel != null) {
+            statusLabel.setText(result);
         }
-        return false;
     }
 }
@@ -0,0 +1,75 @@
+package com.example.dames.model;
+
+public class GameClock {
+    private final long incrementMillis;
+    private long whiteRemainingNanos;
+    private long blackRemainingNanos;
+    private boolean whiteToMove = true;
+    private long turnStartNanos = -1;
+
+    // Fischer time control; an increment of 0 gives sudden death
+    public GameClock(long baseMillis, long incrementMillis) {
+        if (baseMillis <= 0 || incrementMillis < 0)
+            throw new IllegalArgumentException("Invalid time control: " + baseMillis + "+" + incrementMillis);
+        this.incrementMillis = incrementMillis;
+        this.whiteRemainingNanos = baseMillis * 1_000_000L;
+        this.blackRemainingNanos = baseMillis * 1_000_000L;
+    }
+
+    public long getIncrementMillis() { return incrementMillis; }
+    public boolean isRunning() { return turnStartNanos >= 0; }
+
+    public void start(boolean whiteToMove) {
+        this.whiteToMove = whiteToMove;
+        this.turnStartNanos = System.nanoTime();
+    }
+
+    public void stop() {
+        if (!isRunning())
+            return;
+        charge(System.nanoTime() - turnStartNanos);
+        turnStartNanos = -1;
+    }
+
+    // Ends the current turn: charges the elapsed time, adds the increment and starts the opponent's clock
+    public void press() {
+        long now = System.nanoTime();
+        if (isRunning()) {
+            charge(now - turnStartNanos);
+            if (!hasFlagged(whiteToMove)) {
+                if (whiteToMove)
+                    whiteRemainingNanos += incrementMillis * 1_000_000L;
+                else
+                    blackRemainingNanos += incrementMillis * 1_000_000L;
+            }
+        }
+        whiteToMove = !whiteToMove;
+        turnStartNanos = now;
+    }
+
+    public long getRemainingMillis(boolean isWhite) {
+        long remaining = isWhite ? whiteRemainingNanos : blackRemainingNanos;
+        if (isRunning() && isWhite == whiteToMove) {
+            remaining -= System.nanoTime() - turnStartNanos;
+        }
+        return Math.max(0, remaining / 1_000_000L);
+    }
+
+    public boolean hasFlagged(boolean isWhite) {
+        return getRemainingMillis(isWhite) <= 0;
+    }
+
+    public String format(boolean isWhite) {
+        long millis = getRemainingMillis(isWhite);
+        long minutes = millis / 60_000;
+        long seconds = (millis / 1000) % 60;
+        return String.format("%d:%02d", minutes, seconds);
+    }
+
+    private void charge(long elapsedNanos) {
+        if (whiteToMove)
+            whiteRemainingNanos = Math.max(0, whiteRemainingNanos - elapsedNanos);
+        else
+            blackRemainingNanos = Math.max(0, blackRemainingNanos - elapsedNanos);
+    }
+}
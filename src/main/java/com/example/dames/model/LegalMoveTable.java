@@ -0,0 +1,65 @@
+package com.example.dames.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// All legal moves of the side to move for one position, indexed by origin and destination square
+public class LegalMoveTable {
+    private final int size;
+    private final List<Move> moves;
+    private final List<List<Move>> byOrigin;
+    private final Move[][] byOriginAndDestination;
+    private final boolean captures;
+
+    public LegalMoveTable(int size, List<Move> moves) {
+        this.size = size;
+        this.moves = Collections.unmodifiableList(new ArrayList<>(moves));
+        this.byOriginAndDestination = new Move[size * size][];
+
+        List<List<Move>> grouped = new ArrayList<>(Collections.nCopies(size * size, List.of()));
+        boolean anyCapture = false;
+        for (Move move : this.moves) {
+            int from = index(move.fromRow(), move.fromCol());
+            if (byOriginAndDestination[from] == null) {
+                byOriginAndDestination[from] = new Move[size * size];
+                grouped.set(from, new ArrayList<>());
+            }
+            byOriginAndDestination[from][index(move.toRow(), move.toCol())] = move;
+            grouped.get(from).add(move);
+            anyCapture |= move.hasCapture();
+        }
+        this.captures = anyCapture;
+
+        // Wrap each origin list once so lookups hand out the same read-only view every time
+        for (int i = 0; i < grouped.size(); i++) {
+            grouped.set(i, Collections.unmodifiableList(grouped.get(i)));
+        }
+        this.byOrigin = Collections.unmodifiableList(grouped);
+    }
+
+    public List<Move> getMoves() { return moves; }
+    public boolean isEmpty() { return moves.isEmpty(); }
+    public boolean hasCaptures() { return captures; }
+
+    public List<Move> getMovesFrom(int row, int col) {
+        if (!isOnBoard(row, col))
+            return List.of();
+        return byOrigin.get(index(row, col));
+    }
+
+    public Move find(int fromRow, int fromCol, int toRow, int toCol) {
+        if (!isOnBoard(fromRow, fromCol) || !isOnBoard(toRow, toCol))
+            return null;
+        Move[] destinations = byOriginAndDestination[index(fromRow, fromCol)];
+        return destinations == null ? null : destinations[index(toRow, toCol)];
+    }
+
+    private boolean isOnBoard(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    private int index(int row, int col) {
+        return row * size + col;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.dames.ai;
+
+import com.example.dames.model.GameClock;
+import com.example.dames.model.LegalMoveTable;
+import com.example.dames.model.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeManagerTest {
+    private static final Move MOVE_A = new Move(5, 0, 4, 1);
+    private static final Move MOVE_B = new Move(5, 2, 4, 3);
+    private static final LegalMoveTable TWO_MOVES = new LegalMoveTable(8, List.of(MOVE_A, MOVE_B));
+
+    private long sink; // keeps the simulated node work from being optimised away
+
+    // Clocks are never started, so the remaining time stays at the base time and budgets are exact
+
+    @Test
+    void incrementRaisesBudgetOverSuddenDeath() {
+        TimeManager suddenDeath = new TimeManager(10_000);
+        suddenDeath.startMove(new GameClock(60_000, 0), true, TWO_MOVES);
+        assertEquals(1_999, suddenDeath.getSoftBudgetMillis());
+        assertEquals(7_996, suddenDeath.getHardBudgetMillis());
+
+        TimeManager fischer = new TimeManager(10_000);
+        fischer.startMove(new GameClock(60_000, 2_000), true, TWO_MOVES);
+        assertEquals(3_499, fischer.getSoftBudgetMillis());
+        assertEquals(10_000, fischer.getHardBudgetMillis()); // clipped by the latency cap
+    }
+
+    @Test
+    void latencyCapBoundsBothBudgets() {
+        TimeManager manager = new TimeManager(500);
+        manager.startMove(new GameClock(60_000, 0), true, TWO_MOVES);
+        assertEquals(500, manager.getHardBudgetMillis());
+        assertEquals(500, manager.getSoftBudgetMillis());
+    }
+
+    @Test
+    void singleCaptureIsPlayedInstantly() {
+        LegalMoveTable singleCapture = new LegalMoveTable(8, List.of(new Move(5, 0, 3, 2, 4, 1)));
+        TimeManager manager = new TimeManager(10_000);
+        manager.startMove(new GameClock(60_000, 2_000), true, singleCapture);
+
+        assertTrue(manager.isForced());
+        assertFalse(manager.canStartIteration());
+        assertTrue(manager.shouldStop());
+        assertEquals(0, manager.getHardBudgetMillis());
+    }
+
+    @Test
+    void firstIterationRunsEvenWithTheClockNearlyOut() {
+        TimeManager manager = new TimeManager(10_000);
+        manager.startMove(new GameClock(10, 3_000), true, TWO_MOVES);
+
+        assertTrue(manager.canStartIteration());
+        manager.onIterationComplete(MOVE_A);
+        assertFalse(manager.canStartIteration());
+    }
+
+    @Test
+    void softBudgetGrowsWhileBestMoveChangesAndDecaysOnceStable() {
+        TimeManager manager = new TimeManager(10_000);
+        manager.startMove(new GameClock(60_000, 0), true, TWO_MOVES);
+        long base = manager.getSoftBudgetMillis();
+
+        manager.onIterationComplete(MOVE_A);
+        assertEquals(base, manager.getSoftBudgetMillis());
+
+        manager.onIterationComplete(MOVE_B);
+        long grown = manager.getSoftBudgetMillis();
+        assertTrue(grown > base);
+
+        manager.onIterationComplete(MOVE_B);
+        long decayed = manager.getSoftBudgetMillis();
+        assertTrue(decayed < grown);
+        assertTrue(decayed >= base);
+
+        for (int i = 0; i < 10; i++) {
+            manager.onIterationComplete(i % 2 == 0 ? MOVE_A : MOVE_B);
+        }
+        assertTrue(manager.getSoftBudgetMillis() <= manager.getHardBudgetMillis());
+    }
+
+    @Test
+    void pollingLoopStopsWithinAFewMillisecondsOfTheHardDeadline() {
+        TimeManager manager = new TimeManager(50);
+        GameClock clock = new GameClock(60_000, 0);
+
+        for (int move = 0; move < 10; move++) {
+            manager.startMove(clock, true, TWO_MOVES);
+            assertEquals(50, manager.getHardBudgetMillis());
+            while (!manager.shouldStop()) {
+                // Stand-in for the work done at one search node
+                for (int k = 0; k < 1_000; k++) {
+                    sink += k ^ move;
+                }
+            }
+            manager.finishMove();
+        }
+
+        assertTrue(manager.getMaxStopLatencyMillis() < 5.0,
+                "max stop latency " + manager.getMaxStopLatencyMillis() + " ms");
+    }
+}